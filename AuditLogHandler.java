@@ -0,0 +1,35 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends every library event to an audit file
+ * Writes are buffered and flushed once per batch
+ */
+public class AuditLogHandler implements LibraryEventHandler {
+    private final BufferedWriter writer;
+
+    public AuditLogHandler(Path file) throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void onEvent(LibraryEvent event, long sequence, boolean endOfBatch) throws IOException {
+        writer.write(String.format("%d %s %-14s transaction=%s book=%s member=%s",
+                sequence, event.getTimestamp(), event.getType(),
+                event.getTransactionId(), event.getBookId(), event.getMemberId()));
+        writer.newLine();
+        if (endOfBatch) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void onShutdown() throws IOException {
+        writer.close();
+    }
+}
@@ -1,3 +1,5 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Book class demonstrating Encapsulation
  * All fields are private with public getters/setters
@@ -7,15 +9,36 @@ public class Book {
     private String title;
     private String author;
     private String category;
-    private boolean available;
+    private BookDetailsStore detailsStore; // set for archived books whose details live on disk
+    private long detailsOffset;
+    private BookIndex index; // set once the book is indexed, so setters keep the index current
+    private final int totalCopies;
+    private final AtomicInteger availableCopies; // lock-free counter shared by all copies of the title
     
-    // Constructor
+    // Constructor for a single-copy book
     public Book(String bookId, String title, String author, String category, boolean available) {
+        this(bookId, title, author, category, 1);
+        this.availableCopies.set(available ? 1 : 0);
+    }
+    
+    // Constructor for a title stocked with several copies, all on the shelf
+    public Book(String bookId, String title, String author, String category, int totalCopies) {
+        if (totalCopies <= 0) {
+            throw new IllegalArgumentException("Total copies must be positive");
+        }
         this.bookId = bookId;
         this.title = title;
         this.author = author;
         this.category = category;
-        this.available = available;
+        this.totalCopies = totalCopies;
+        this.availableCopies = new AtomicInteger(totalCopies);
+    }
+    
+    // Constructor for an archived title; title, author and category are loaded lazily
+    public Book(String bookId, BookDetailsStore detailsStore, long detailsOffset, int totalCopies) {
+        this(bookId, null, null, null, totalCopies);
+        this.detailsStore = detailsStore;
+        this.detailsOffset = detailsOffset;
     }
     
     // Getters
@@ -24,45 +47,128 @@ public class Book {
     }
     
     public String getTitle() {
-        return title;
+        return detailsStore == null ? title : detailsStore.load(detailsOffset).getTitle();
     }
     
     public String getAuthor() {
-        return author;
+        return detailsStore == null ? author : detailsStore.load(detailsOffset).getAuthor();
     }
     
     public String getCategory() {
-        return category;
+        return detailsStore == null ? category : detailsStore.load(detailsOffset).getCategory();
+    }
+    
+    // Title, author and category with a single store read, for code that needs more than one
+    public BookDetails getDetails() {
+        return detailsStore == null ? new BookDetails(title, author, category) : detailsStore.load(detailsOffset);
     }
     
+    // True if at least one copy is on the shelf
     public boolean isAvailable() {
-        return available;
+        return availableCopies.get() > 0;
+    }
+    
+    public int getAvailableCopies() {
+        return availableCopies.get();
+    }
+    
+    public int getTotalCopies() {
+        return totalCopies;
+    }
+    
+    // Called by BookIndex when the book is added to it
+    void attachIndex(BookIndex index) {
+        this.index = index;
     }
     
     // Setters
     public void setBookId(String bookId) {
+        String oldBookId = this.bookId;
         this.bookId = bookId;
+        if (index != null) {
+            index.updateBookId(this, oldBookId);
+        }
     }
     
+    // Archived books get a new record in the store rather than a heap copy
     public void setTitle(String title) {
-        this.title = title;
+        if (detailsStore == null) {
+            this.title = title;
+        } else {
+            BookDetails old = detailsStore.load(detailsOffset);
+            detailsOffset = detailsStore.append(title, old.getAuthor(), old.getCategory());
+        }
     }
     
     public void setAuthor(String author) {
-        this.author = author;
+        BookDetails old = getDetails();
+        if (detailsStore == null) {
+            this.author = author;
+        } else {
+            detailsOffset = detailsStore.append(old.getTitle(), author, old.getCategory());
+        }
+        if (index != null) {
+            index.updateAuthor(this, old.getAuthor(), author);
+        }
     }
     
     public void setCategory(String category) {
-        this.category = category;
+        BookDetails old = getDetails();
+        if (detailsStore == null) {
+            this.category = category;
+        } else {
+            detailsOffset = detailsStore.append(old.getTitle(), old.getAuthor(), category);
+        }
+        if (index != null) {
+            index.updateCategory(this, old.getCategory(), category);
+        }
     }
     
+    // Marks every copy as on the shelf (true) or out (false)
     public void setAvailable(boolean available) {
-        this.available = available;
+        this.availableCopies.set(available ? totalCopies : 0);
+        if (index != null) {
+            index.updateAvailability(this);
+        }
+    }
+    
+    // Takes one copy off the shelf; false if none are left
+    public boolean borrowCopy() {
+        while (true) {
+            int current = availableCopies.get();
+            if (current == 0) {
+                return false;
+            }
+            if (availableCopies.compareAndSet(current, current - 1)) {
+                if (current == 1 && index != null) {
+                    index.updateAvailability(this); // last copy just left the shelf
+                }
+                return true;
+            }
+        }
+    }
+    
+    // Puts one copy back on the shelf; false if every copy is already there
+    public boolean returnCopy() {
+        while (true) {
+            int current = availableCopies.get();
+            if (current == totalCopies) {
+                return false;
+            }
+            if (availableCopies.compareAndSet(current, current + 1)) {
+                if (current == 0 && index != null) {
+                    index.updateAvailability(this); // first copy back on the shelf
+                }
+                return true;
+            }
+        }
     }
     
     @Override
     public String toString() {
-        return String.format("Book{id='%s', title='%s', author='%s', category='%s', available=%s}",
-                bookId, title, author, category, available);
+        BookDetails details = getDetails();
+        return String.format("Book{id='%s', title='%s', author='%s', category='%s', copies=%d/%d}",
+                bookId, details.getTitle(), details.getAuthor(), details.getCategory(),
+                availableCopies.get(), totalCopies);
     }
 }
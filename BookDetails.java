@@ -0,0 +1,28 @@
+/**
+ * Descriptive fields of a book that circulation never needs
+ * Kept in the BookDetailsStore for archived titles
+ */
+public class BookDetails {
+    private final String title;
+    private final String author;
+    private final String category;
+
+    public BookDetails(String title, String author, String category) {
+        this.title = title;
+        this.author = author;
+        this.category = category;
+    }
+
+    // Getters
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+}
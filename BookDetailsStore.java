@@ -0,0 +1,108 @@
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * On-disk store for cold book details with a size-bounded LRU cache
+ * Records are appended once and addressed by file offset, so a changed
+ * book simply gets a new record and the old one ages out of the cache.
+ * Each store writes its own temporary file, deleted again on close().
+ */
+public class BookDetailsStore {
+    private final Path path;
+    private final RandomAccessFile file;
+    private final Map<Long, BookDetails> cache;
+    private long hits;
+    private long misses;
+
+    public BookDetailsStore(int maxCachedEntries) throws IOException {
+        if (maxCachedEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.path = Files.createTempFile("library-catalog", ".dat");
+        this.path.toFile().deleteOnExit();
+        this.file = new RandomAccessFile(path.toFile(), "rw");
+        // Access-ordered map evicts the least recently used entry once full
+        this.cache = new LinkedHashMap<Long, BookDetails>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BookDetails> eldest) {
+                return size() > maxCachedEntries;
+            }
+        };
+    }
+
+    // Writes a record and returns its offset
+    public synchronized long append(String title, String author, String category) {
+        try {
+            long offset = file.length();
+            file.seek(offset);
+            writeNullable(title);
+            writeNullable(author);
+            writeNullable(category);
+            return offset;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write book details", e);
+        }
+    }
+
+    public synchronized BookDetails load(long offset) {
+        BookDetails details = cache.get(offset);
+        if (details != null) {
+            hits++;
+            return details;
+        }
+
+        misses++;
+        try {
+            file.seek(offset);
+            details = new BookDetails(readNullable(), readNullable(), readNullable());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read book details at offset " + offset, e);
+        }
+        cache.put(offset, details);
+        return details;
+    }
+
+    // Metrics
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public synchronized int getCachedCount() {
+        return cache.size();
+    }
+
+    public synchronized void close() throws IOException {
+        cache.clear();
+        try {
+            file.close();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    // Presence flag first, since writeUTF cannot encode null
+    private void writeNullable(String value) throws IOException {
+        file.writeBoolean(value != null);
+        if (value != null) {
+            file.writeUTF(value);
+        }
+    }
+
+    private String readNullable() throws IOException {
+        return file.readBoolean() ? file.readUTF() : null;
+    }
+}
@@ -0,0 +1,184 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bitmap indexes over the book catalog
+ * Each book gets a position. Availability is a dense bitmap over all
+ * positions; every category/author value keeps a PostingList, which stays
+ * compact for values with few books. Filters become AND/OR operations.
+ *
+ * Authors are keyed by hash code rather than name: names are close to
+ * unique per book, so keeping them as keys would pin them on the heap even
+ * for archived books. Author matches are confirmed against the book.
+ *
+ * Indexed books report changes back here as they happen, so the index
+ * follows setAvailable, setCategory, setAuthor, setBookId and the copy
+ * counter reaching or leaving zero on borrow/return.
+ */
+public class BookIndex {
+    private final Map<String, Integer> positions;
+    private final List<Book> books;
+    private final BitSet available;
+    private final Map<String, PostingList> byCategory;
+    private final Map<Integer, PostingList> byAuthor; // author hash code -> positions
+
+    public BookIndex() {
+        this.positions = new HashMap<>();
+        this.books = new ArrayList<>();
+        this.available = new BitSet();
+        this.byCategory = new HashMap<>();
+        this.byAuthor = new HashMap<>();
+    }
+
+    // Returns the position assigned to the book
+    public int add(Book book) {
+        return add(book, book.getDetails());
+    }
+
+    // For callers that already hold the details, so an archived book is not read back from disk
+    public synchronized int add(Book book, BookDetails details) {
+        int position = books.size();
+        books.add(book);
+        positions.put(book.getBookId(), position);
+        available.set(position, book.isAvailable());
+        byCategory.computeIfAbsent(details.getCategory(), key -> new PostingList()).add(position);
+        byAuthor.computeIfAbsent(Objects.hashCode(details.getAuthor()), key -> new PostingList()).add(position);
+        book.attachIndex(this);
+        return position;
+    }
+
+    // Re-reads the book's copy counter, so calls in any order leave the bit correct
+    public synchronized void updateAvailability(Book book) {
+        Integer position = positions.get(book.getBookId());
+        if (position != null) {
+            available.set(position, book.isAvailable());
+        }
+    }
+
+    synchronized void updateCategory(Book book, String oldCategory, String newCategory) {
+        move(byCategory, book, oldCategory, newCategory);
+    }
+
+    synchronized void updateAuthor(Book book, String oldAuthor, String newAuthor) {
+        move(byAuthor, book, Objects.hashCode(oldAuthor), Objects.hashCode(newAuthor));
+    }
+
+    synchronized void updateBookId(Book book, String oldBookId) {
+        Integer position = positions.remove(oldBookId);
+        if (position != null) {
+            positions.put(book.getBookId(), position);
+        }
+    }
+
+    public synchronized BitSet available() {
+        return (BitSet) available.clone();
+    }
+
+    public synchronized PostingList inCategory(String... categories) {
+        return union(byCategory, categories);
+    }
+
+    public synchronized PostingList byAuthor(String... authors) {
+        return withAuthor(union(byAuthor, hashCodes(authors)), authors);
+    }
+
+    // Available books matching any of the given categories
+    public synchronized PostingList availableInCategory(String... categories) {
+        return lookup(byCategory, categories).and(available);
+    }
+
+    // Available books in the category by the author
+    public synchronized PostingList availableInCategoryByAuthor(String category, String author) {
+        PostingList candidates = lookup(byAuthor, Objects.hashCode(author))
+                .and(lookup(byCategory, category)).and(available);
+        return withAuthor(candidates, author);
+    }
+
+    /**
+     * Positions of one page of matches, in catalog order
+     * Walks only the matching positions, skipping pages before the requested one
+     */
+    public int[] page(PostingList matches, int pageNumber, int pageSize) {
+        int skip = pageNumber * pageSize;
+        int position = matches.next(0);
+        for (int i = 0; i < skip && position >= 0; i++) {
+            position = matches.next(position + 1);
+        }
+
+        int[] result = new int[pageSize];
+        int count = 0;
+        while (count < pageSize && position >= 0) {
+            result[count++] = position;
+            position = matches.next(position + 1);
+        }
+        return count == pageSize ? result : Arrays.copyOf(result, count);
+    }
+
+    public synchronized int size() {
+        return books.size();
+    }
+
+    // Drops positions that only share the hash code of the wanted authors
+    private PostingList withAuthor(PostingList candidates, String... authors) {
+        PostingList result = new PostingList();
+        for (int position = candidates.next(0); position >= 0; position = candidates.next(position + 1)) {
+            String author = books.get(position).getAuthor();
+            for (String wanted : authors) {
+                if (Objects.equals(wanted, author)) {
+                    result.add(position);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Integer[] hashCodes(String[] values) {
+        Integer[] hashes = new Integer[values.length];
+        for (int i = 0; i < values.length; i++) {
+            hashes[i] = Objects.hashCode(values[i]);
+        }
+        return hashes;
+    }
+
+    private <K> void move(Map<K, PostingList> index, Book book, K oldValue, K newValue) {
+        Integer position = positions.get(book.getBookId());
+        if (position == null) {
+            return;
+        }
+        PostingList old = index.get(oldValue);
+        if (old != null) {
+            old.remove(position);
+            if (old.cardinality() == 0) {
+                index.remove(oldValue);
+            }
+        }
+        index.computeIfAbsent(newValue, key -> new PostingList()).add(position);
+    }
+
+    // The indexed list itself for a single value, so callers must not modify the result
+    @SafeVarargs
+    private static <K> PostingList lookup(Map<K, PostingList> index, K... values) {
+        if (values.length == 1) {
+            PostingList list = index.get(values[0]);
+            return list != null ? list : new PostingList();
+        }
+        return union(index, values);
+    }
+
+    private static <K> PostingList union(Map<K, PostingList> index, K[] values) {
+        List<PostingList> lists = new ArrayList<>(values.length);
+        for (K value : values) {
+            PostingList list = index.get(value);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        return PostingList.union(lists.toArray(new PostingList[0]));
+    }
+}
@@ -1,5 +1,11 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
 /**
@@ -10,13 +16,37 @@ public class Library {
     private List<Book> books;
     private List<Member> members;
     private List<Transaction> transactions;
+    private Map<Book, Map<Member, Integer>> openLoans; // open borrows per title and member
+    private BookIndex bookIndex;
+    private PopularityTracker popularityTracker;
+    private LibraryEventBus eventBus;
+    private LibraryChangeStream changeStream;
+    private BookDetailsStore detailsStore;
     private Scanner scanner;
     
     public Library() {
         this.books = new ArrayList<>();
         this.members = new ArrayList<>();
         this.transactions = new ArrayList<>();
+        this.openLoans = new HashMap<>();
+        this.bookIndex = new BookIndex();
+        this.popularityTracker = new PopularityTracker(100, 50, Duration.ofDays(7), 7);
         this.scanner = new Scanner(System.in);
+        this.eventBus = new LibraryEventBus(1024, LibraryEventBus.Backpressure.BLOCK);
+        this.changeStream = new LibraryChangeStream(4096);
+        eventBus.addHandler("popularity", popularityTracker);
+        eventBus.addHandler("changes", changeStream);
+        try {
+            eventBus.addHandler("audit", new AuditLogHandler(Paths.get("library-audit.log")));
+        } catch (IOException e) {
+            System.out.println("Audit log disabled: " + e.getMessage());
+        }
+        eventBus.start();
+        try {
+            this.detailsStore = new BookDetailsStore(1000);
+        } catch (IOException e) {
+            System.out.println("Archive store disabled, keeping all book details in memory: " + e.getMessage());
+        }
         initializeSampleData();
     }
     
@@ -26,7 +56,9 @@ public class Library {
         addBook(new Book("B002", "1984", "George Orwell", "Dystopian Fiction", true));
         addBook(new Book("B003", "Pride and Prejudice", "Jane Austen", "Romance", true));
         addBook(new Book("B004", "The Great Gatsby", "F. Scott Fitzgerald", "Classic", false));
-        addBook(new Book("B005", "Java Programming", "John Smith", "Programming", true));
+        addBook(new Book("B005", "Java Programming", "John Smith", "Programming", 3));
+        addArchivedBook("B006", "The Odyssey", "Homer", "Classic", 2);
+        addArchivedBook("B007", "Structured Programming", "Edsger Dijkstra", "Programming", 1);
         
         // Add sample members
         addMember(new Student("M001", "Alice Johnson", "alice@email.com", "S12345"));
@@ -35,23 +67,50 @@ public class Library {
     }
     
     public void addBook(Book book) {
+        addBook(book, book.getDetails());
+    }
+    
+    private void addBook(Book book, BookDetails details) {
         books.add(book);
+        bookIndex.add(book, details); // index position matches the list position
+        eventBus.publish(LibraryEvent.Type.BOOK_ADDED, null, book, null, 
+            book.getAvailableCopies(), LocalDateTime.now());
+    }
+    
+    // Adds a rarely borrowed title whose descriptive fields live on disk
+    public void addArchivedBook(String bookId, String title, String author, String category, int copies) {
+        if (detailsStore == null) {
+            addBook(new Book(bookId, title, author, category, copies));
+            return;
+        }
+        long offset = detailsStore.append(title, author, category);
+        // Index from the values in hand rather than reading the record straight back
+        addBook(new Book(bookId, detailsStore, offset, copies), new BookDetails(title, author, category));
+    }
+    
+    // Live availability, loan and registration events for notification services
+    public LibraryChangeStream getChangeStream() {
+        return changeStream;
     }
     
     public void addMember(Member member) {
         members.add(member);
+        eventBus.publish(LibraryEvent.Type.MEMBER_ADDED, null, null, 
+            member.getMemberId(), 0, LocalDateTime.now());
     }
     
     public void displayAllBooks() {
         System.out.println("\n=== ALL BOOKS ===");
-        System.out.println(String.format("%-8s %-25s %-20s %-15s %-10s", 
-            "Book ID", "Title", "Author", "Category", "Available"));
-        System.out.println("-".repeat(80));
+        System.out.println(String.format("%-8s %-25s %-20s %-15s %-10s %-8s", 
+            "Book ID", "Title", "Author", "Category", "Available", "Copies"));
+        System.out.println("-".repeat(90));
         
         for (Book book : books) {
-            System.out.println(String.format("%-8s %-25s %-20s %-15s %-10s", 
-                book.getBookId(), book.getTitle(), book.getAuthor(), 
-                book.getCategory(), book.isAvailable() ? "Yes" : "No"));
+            BookDetails details = book.getDetails();
+            System.out.println(String.format("%-8s %-25s %-20s %-15s %-10s %-8s", 
+                book.getBookId(), details.getTitle(), details.getAuthor(), 
+                details.getCategory(), book.isAvailable() ? "Yes" : "No",
+                book.getAvailableCopies() + "/" + book.getTotalCopies()));
         }
     }
     
@@ -85,45 +144,66 @@ public class Library {
             return;
         }
         
-        if (!book.isAvailable()) {
-            System.out.println("Book is already borrowed!");
+        if (!book.borrowCopy()) {
+            System.out.println("No copies available, book is already borrowed!");
             return;
         }
         
-        book.setAvailable(false);
         Transaction transaction = new Transaction(member, book, "BORROW");
         transactions.add(transaction);
+        openLoans.computeIfAbsent(book, key -> new HashMap<>()).merge(member, 1, Integer::sum);
+        // Popularity, change stream and audit log run on the event bus consumers
+        if (!eventBus.publish(LibraryEvent.Type.BOOK_BORROWED, transaction.getTransactionId(), 
+                book, member.getMemberId(), book.getAvailableCopies(), transaction.getTimestamp())) {
+            // Popularity counts must not drift, so record the borrow here instead
+            popularityTracker.recordBorrow(book, transaction.getTimestamp());
+            System.out.println("Warning: event bus rejected the borrow event; audit log and change stream miss it");
+        }
         
         System.out.println("Book borrowed successfully!");
         System.out.println("Transaction ID: " + transaction.getTransactionId());
     }
     
     public void returnBook() {
+        System.out.print("Enter Member ID: ");
+        String memberId = scanner.nextLine();
         System.out.print("Enter Book ID: ");
         String bookId = scanner.nextLine();
         
+        Member member = findMemberById(memberId);
         Book book = findBookById(bookId);
+        
+        if (member == null) {
+            System.out.println("Member not found!");
+            return;
+        }
+        
         if (book == null) {
             System.out.println("Book not found!");
             return;
         }
         
-        if (book.isAvailable()) {
-            System.out.println("Book is already available!");
+        // A copy with no loan on record (e.g. out before tracking began) may be returned by anyone
+        Map<Member, Integer> holders = openLoans.get(book);
+        boolean hasLoan = holders != null && holders.containsKey(member);
+        if (holders != null && !hasLoan) {
+            System.out.println("This member has no open loan for this book!");
             return;
         }
         
-        book.setAvailable(true);
+        if (!book.returnCopy()) {
+            System.out.println("All copies are already available!");
+            return;
+        }
+        if (hasLoan) {
+            closeLoan(book, member);
+        }
         
-        // Find the borrow transaction and create return transaction
-        for (Transaction transaction : transactions) {
-            if (transaction.getBook().getBookId().equals(bookId) && 
-                transaction.getType().equals("BORROW")) {
-                Transaction returnTransaction = new Transaction(
-                    transaction.getMember(), book, "RETURN");
-                transactions.add(returnTransaction);
-                break;
-            }
+        Transaction returnTransaction = new Transaction(member, book, "RETURN");
+        transactions.add(returnTransaction);
+        if (!eventBus.publish(LibraryEvent.Type.BOOK_RETURNED, returnTransaction.getTransactionId(), 
+                book, member.getMemberId(), book.getAvailableCopies(), returnTransaction.getTimestamp())) {
+            System.out.println("Warning: event bus rejected the return event; audit log and change stream miss it");
         }
         
         System.out.println("Book returned successfully!");
@@ -140,6 +220,75 @@ public class Library {
         }
     }
     
+    public void browseAvailableByCategory() {
+        System.out.print("Enter Category: ");
+        String category = scanner.nextLine();
+        
+        PostingList matches = bookIndex.availableInCategory(category);
+        System.out.println("\n=== AVAILABLE IN " + category.toUpperCase() + " (" + matches.cardinality() + ") ===");
+        System.out.println(String.format("%-8s %-25s %-20s", "Book ID", "Title", "Author"));
+        System.out.println("-".repeat(55));
+        
+        for (int position : bookIndex.page(matches, 0, 20)) {
+            Book book = books.get(position);
+            BookDetails details = book.getDetails();
+            System.out.println(String.format("%-8s %-25s %-20s", 
+                book.getBookId(), details.getTitle(), details.getAuthor()));
+        }
+    }
+    
+    public void displayPopularBooks() {
+        System.out.println("\n=== MOST BORROWED THIS WEEK ===");
+        System.out.println(String.format("%-8s %-25s %-15s %-10s", 
+            "Book ID", "Title", "Category", "Borrows"));
+        System.out.println("-".repeat(60));
+        
+        for (PopularityTracker.Entry entry : popularityTracker.getTopBooks(10)) {
+            Book book = findBookById(entry.getBookId());
+            if (book != null) {
+                BookDetails details = book.getDetails();
+                System.out.println(String.format("%-8s %-25s %-15s %-10d", 
+                    book.getBookId(), details.getTitle(), details.getCategory(), entry.getCount()));
+            }
+        }
+    }
+    
+    public void exportTransactions() {
+        System.out.print("Enter export file path: ");
+        String path = scanner.nextLine();
+        
+        try (TransactionHistoryWriter writer = new TransactionHistoryWriter(Paths.get(path), 10000)) {
+            for (Transaction transaction : transactions) {
+                writer.write(transaction);
+            }
+            System.out.println("Exported " + writer.getRowCount() + " transactions to " + path);
+        } catch (IOException e) {
+            System.out.println("Export failed: " + e.getMessage());
+        }
+    }
+    
+    public void displayCatalogStatistics() {
+        System.out.println("\n=== CATALOG CACHE STATISTICS ===");
+        if (detailsStore == null) {
+            System.out.println("Archive store disabled.");
+            return;
+        }
+        System.out.println("Cached details: " + detailsStore.getCachedCount());
+        System.out.println("Cache hits:     " + detailsStore.getHits());
+        System.out.println("Cache misses:   " + detailsStore.getMisses());
+        System.out.println(String.format("Hit rate:       %.1f%%", detailsStore.getHitRate() * 100));
+    }
+    
+    private void closeLoan(Book book, Member member) {
+        Map<Member, Integer> holders = openLoans.get(book);
+        if (holders.merge(member, -1, Integer::sum) == 0) {
+            holders.remove(member);
+            if (holders.isEmpty()) {
+                openLoans.remove(book);
+            }
+        }
+    }
+    
     private Member findMemberById(String memberId) {
         for (Member member : members) {
             if (member.getMemberId().equals(memberId)) {
@@ -165,8 +314,12 @@ public class Library {
         System.out.println("3. Borrow Book");
         System.out.println("4. Return Book");
         System.out.println("5. Display Transaction History");
-        System.out.println("6. Exit");
-        System.out.print("Choose an option (1-6): ");
+        System.out.println("6. Display Popular Books");
+        System.out.println("7. Browse Available Books by Category");
+        System.out.println("8. Display Catalog Cache Statistics");
+        System.out.println("9. Export Transaction History");
+        System.out.println("10. Exit");
+        System.out.print("Choose an option (1-10): ");
     }
     
     public void run() {
@@ -194,6 +347,20 @@ public class Library {
                     displayTransactions();
                     break;
                 case 6:
+                    displayPopularBooks();
+                    break;
+                case 7:
+                    browseAvailableByCategory();
+                    break;
+                case 8:
+                    displayCatalogStatistics();
+                    break;
+                case 9:
+                    exportTransactions();
+                    break;
+                case 10:
+                    eventBus.shutdown();
+                    closeDetailsStore();
                     System.out.println("Thank you for using Library Management System!");
                     return;
                 default:
@@ -202,6 +369,16 @@ public class Library {
         }
     }
     
+    private void closeDetailsStore() {
+        if (detailsStore != null) {
+            try {
+                detailsStore.close();
+            } catch (IOException e) {
+                System.out.println("Failed to close archive store: " + e.getMessage());
+            }
+        }
+    }
+    
     public static void main(String[] args) {
         Library library = new Library();
         library.run();
@@ -0,0 +1,81 @@
+import java.time.LocalDateTime;
+
+/**
+ * Immutable change event emitted by the LibraryChangeStream
+ * The sequence number lets subscribers resume where they left off
+ */
+public class LibraryChangeEvent {
+    public enum Type {
+        AVAILABILITY_CHANGED,
+        TRANSACTION_CREATED,
+        MEMBER_REGISTERED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final String bookId;
+    private final String bookCategory;
+    private final String memberId;
+    private final String transactionId;
+    private final String transactionType; // BORROW or RETURN
+    private final boolean available;
+    private final LocalDateTime timestamp;
+
+    public LibraryChangeEvent(long sequence, Type type, String bookId, String bookCategory,
+                              String memberId, String transactionId, String transactionType,
+                              boolean available, LocalDateTime timestamp) {
+        this.sequence = sequence;
+        this.type = type;
+        this.bookId = bookId;
+        this.bookCategory = bookCategory;
+        this.memberId = memberId;
+        this.transactionId = transactionId;
+        this.transactionType = transactionType;
+        this.available = available;
+        this.timestamp = timestamp;
+    }
+
+    // Getters
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getBookId() {
+        return bookId;
+    }
+
+    public String getBookCategory() {
+        return bookCategory;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    // For AVAILABILITY_CHANGED: whether the book now has a copy on the shelf
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LibraryChangeEvent{seq=%d, type=%s, book='%s', member='%s', transaction='%s', available=%s}",
+                sequence, type, bookId, memberId, transactionId, available);
+    }
+}
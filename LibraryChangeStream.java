@@ -0,0 +1,266 @@
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * Change-data-capture stream of library activity built on java.util.concurrent.Flow
+ * - Fed from the LibraryEventBus; the bus thread only appends to the history
+ *   and schedules delivery, so a slow subscriber never holds it up
+ * - Every subscriber signal, onSubscribe and onError included, comes from one
+ *   delivery task at a time on the executor, so signals never overlap
+ * - Keeps a bounded history so subscribers can resume from a sequence number
+ * - Each subscription honours its own demand and filter
+ *
+ * The retained history is every subscriber's buffer: one that falls further
+ * behind than it is terminated with onError rather than silently skipping
+ * events. A subscriber that throws from onNext is cancelled.
+ */
+public class LibraryChangeStream implements Flow.Publisher<LibraryChangeEvent>, LibraryEventHandler {
+    private final LibraryChangeEvent[] history;
+    private final List<ChangeSubscription> subscriptions;
+    private final Executor executor;
+    private long nextSequence;
+    private boolean completed;
+
+    public LibraryChangeStream(int retainedEvents) {
+        this(retainedEvents, ForkJoinPool.commonPool());
+    }
+
+    public LibraryChangeStream(int retainedEvents, Executor executor) {
+        if (retainedEvents <= 0) {
+            throw new IllegalArgumentException("Retained events must be positive");
+        }
+        this.history = new LibraryChangeEvent[retainedEvents];
+        this.subscriptions = new CopyOnWriteArrayList<>();
+        this.executor = executor;
+    }
+
+    // Subscribes to every future event
+    @Override
+    public void subscribe(Flow.Subscriber<? super LibraryChangeEvent> subscriber) {
+        subscribe(subscriber, event -> true, getNextSequence());
+    }
+
+    /**
+     * Subscribes to matching events starting at fromSequence
+     * Pass the last seen sequence + 1 to resume after a disconnect
+     */
+    public void subscribe(Flow.Subscriber<? super LibraryChangeEvent> subscriber,
+                          Predicate<LibraryChangeEvent> filter, long fromSequence) {
+        ChangeSubscription subscription = new ChangeSubscription(subscriber, filter, fromSequence);
+        if (fromSequence < 0) {
+            subscription.error.set(new IllegalArgumentException("Sequence must not be negative: " + fromSequence));
+        } else {
+            subscriptions.add(subscription);
+        }
+        subscription.signal(); // delivers onSubscribe, then any error
+    }
+
+    // Common filters
+    public static Predicate<LibraryChangeEvent> forBook(String bookId) {
+        return event -> bookId.equals(event.getBookId());
+    }
+
+    public static Predicate<LibraryChangeEvent> forCategory(String category) {
+        return event -> category.equals(event.getBookCategory());
+    }
+
+    public static Predicate<LibraryChangeEvent> forMember(String memberId) {
+        return event -> memberId.equals(event.getMemberId());
+    }
+
+    public synchronized long getNextSequence() {
+        return nextSequence;
+    }
+
+    // Translates bus events into change events; runs on the bus consumer thread
+    @Override
+    public void onEvent(LibraryEvent event, long sequence, boolean endOfBatch) {
+        switch (event.getType()) {
+            case BOOK_BORROWED: {
+                String category = event.getBookCategory();
+                append(event, category, LibraryChangeEvent.Type.TRANSACTION_CREATED, "BORROW", false);
+                if (event.getAvailableCopies() == 0) {
+                    append(event, category, LibraryChangeEvent.Type.AVAILABILITY_CHANGED, null, false);
+                }
+                break;
+            }
+            case BOOK_RETURNED: {
+                String category = event.getBookCategory();
+                append(event, category, LibraryChangeEvent.Type.TRANSACTION_CREATED, "RETURN", true);
+                if (event.getAvailableCopies() == 1) {
+                    append(event, category, LibraryChangeEvent.Type.AVAILABILITY_CHANGED, null, true);
+                }
+                break;
+            }
+            case MEMBER_ADDED:
+                append(event, null, LibraryChangeEvent.Type.MEMBER_REGISTERED, null, false);
+                break;
+            default:
+                return;
+        }
+
+        if (endOfBatch) {
+            for (ChangeSubscription subscription : subscriptions) {
+                subscription.signal();
+            }
+        }
+    }
+
+    @Override
+    public void onShutdown() {
+        synchronized (this) {
+            completed = true;
+        }
+        for (ChangeSubscription subscription : subscriptions) {
+            subscription.signal();
+        }
+    }
+
+    private synchronized void append(LibraryEvent event, String category, LibraryChangeEvent.Type type,
+                                     String transactionType, boolean available) {
+        String transactionId = type == LibraryChangeEvent.Type.TRANSACTION_CREATED
+                ? event.getTransactionId() : null;
+        LocalDateTime timestamp = event.getTimestamp();
+        history[(int) (nextSequence % history.length)] = new LibraryChangeEvent(nextSequence, type,
+                event.getBookId(), category, event.getMemberId(),
+                transactionId, transactionType, available, timestamp);
+        nextSequence++;
+    }
+
+    private class ChangeSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super LibraryChangeEvent> subscriber;
+        private final Predicate<LibraryChangeEvent> filter;
+        private final AtomicLong demand;
+        private final AtomicInteger wip; // ensures one delivery task per subscription at a time
+        private final AtomicReference<Throwable> error; // pending terminal error, delivered by drain()
+        private long cursor;
+        private boolean subscribed; // only touched by drain()
+        private volatile boolean cancelled;
+
+        ChangeSubscription(Flow.Subscriber<? super LibraryChangeEvent> subscriber,
+                           Predicate<LibraryChangeEvent> filter, long fromSequence) {
+            this.subscriber = subscriber;
+            this.filter = filter;
+            this.demand = new AtomicLong();
+            this.wip = new AtomicInteger();
+            this.error = new AtomicReference<>();
+            this.cursor = fromSequence;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Requested count must be positive: " + n));
+                return;
+            }
+            demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        // Schedules a delivery task unless one is already running
+        void signal() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException e) {
+                // No task was scheduled, so this thread still owns delivery
+                error.compareAndSet(null, e);
+                drain();
+            }
+        }
+
+        // Records a terminal error for drain() to deliver after any signal in flight
+        private void fail(Throwable e) {
+            error.compareAndSet(null, e);
+            signal();
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!subscribed) {
+                    subscribed = true;
+                    try {
+                        subscriber.onSubscribe(this);
+                    } catch (RuntimeException e) {
+                        cancel();
+                        report("onSubscribe", e);
+                    }
+                }
+                while (!cancelled) {
+                    Throwable failure = error.get();
+                    if (failure != null) {
+                        cancel();
+                        try {
+                            subscriber.onError(failure);
+                        } catch (RuntimeException e) {
+                            report("onError", e);
+                        }
+                        break;
+                    }
+
+                    LibraryChangeEvent event;
+                    boolean done;
+                    long oldest;
+                    synchronized (LibraryChangeStream.this) {
+                        oldest = nextSequence - history.length;
+                        done = completed && cursor >= nextSequence;
+                        event = cursor >= oldest && cursor < nextSequence
+                                ? history[(int) (cursor % history.length)] : null;
+                    }
+
+                    if (cursor < oldest) {
+                        error.compareAndSet(null, new IllegalStateException(
+                                "Events before sequence " + oldest + " are no longer retained"));
+                    } else if (done) {
+                        cancel();
+                        try {
+                            subscriber.onComplete();
+                        } catch (RuntimeException e) {
+                            report("onComplete", e);
+                        }
+                    } else if (event == null) {
+                        break;
+                    } else if (!filter.test(event)) {
+                        cursor++;
+                    } else if (demand.get() == 0) {
+                        break;
+                    } else {
+                        cursor++;
+                        if (demand.get() != Long.MAX_VALUE) {
+                            demand.decrementAndGet();
+                        }
+                        try {
+                            subscriber.onNext(event);
+                        } catch (RuntimeException e) {
+                            cancel();
+                            report("onNext", e);
+                        }
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void report(String signal, RuntimeException e) {
+            System.err.println("Change stream subscriber failed in " + signal + ", subscription cancelled: "
+                    + e.getMessage());
+        }
+    }
+}
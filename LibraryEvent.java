@@ -0,0 +1,76 @@
+import java.time.LocalDateTime;
+
+/**
+ * Domain event carried by the LibraryEventBus
+ * Instances are pre-allocated ring buffer slots and get reused, so
+ * handlers must copy any values they want to keep after onEvent returns
+ *
+ * The book's category is not copied in: it is read from the book when a
+ * handler asks for it, so publishing never touches an archived book's
+ * details on disk.
+ */
+public class LibraryEvent {
+    public enum Type {
+        BOOK_ADDED,
+        MEMBER_ADDED,
+        BOOK_BORROWED,
+        BOOK_RETURNED
+    }
+
+    private Type type;
+    private String transactionId;
+    private String bookId;
+    private Book book;
+    private String memberId;
+    private int availableCopies;
+    private LocalDateTime timestamp;
+
+    // Overwrites this slot in place; only called by the event bus
+    void set(Type type, String transactionId, Book book,
+             String memberId, int availableCopies, LocalDateTime timestamp) {
+        this.type = type;
+        this.transactionId = transactionId;
+        this.bookId = book == null ? null : book.getBookId();
+        this.book = book;
+        this.memberId = memberId;
+        this.availableCopies = availableCopies;
+        this.timestamp = timestamp;
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public String getBookId() {
+        return bookId;
+    }
+
+    // Resolved on each call; handlers that need it more than once should keep the value
+    public String getBookCategory() {
+        return book == null ? null : book.getCategory();
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    // Copies on the shelf right after the event; 0 for member events
+    public int getAvailableCopies() {
+        return availableCopies;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LibraryEvent{type=%s, transaction='%s', book='%s', member='%s', timestamp='%s'}",
+                type, transactionId, bookId, memberId, timestamp);
+    }
+}
@@ -0,0 +1,182 @@
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Disruptor-style event bus on a pre-allocated ring buffer
+ * - Publishing copies fields into an existing slot, so it does not allocate
+ * - Every handler consumes on its own thread and sees events in batches
+ * - A full buffer either blocks the publisher or drops the event
+ * - Idle consumers park until the publisher or shutdown() unparks them
+ *
+ * Single producer: publish() must always be called from the same thread.
+ * Events are only accepted between start() and shutdown().
+ */
+public class LibraryEventBus {
+    public enum Backpressure {
+        BLOCK,
+        DROP
+    }
+
+    private final LibraryEvent[] ring;
+    private final int mask;
+    private final Backpressure backpressure;
+    private final AtomicLong cursor;
+    private final List<Consumer> consumers;
+    private long nextSequence;
+    private long cachedGatingSequence;
+    private long droppedCount;
+    private volatile boolean running;
+
+    public LibraryEventBus(int bufferSize, Backpressure backpressure) {
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Buffer size must be a power of two");
+        }
+        this.ring = new LibraryEvent[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            ring[i] = new LibraryEvent();
+        }
+        this.mask = bufferSize - 1;
+        this.backpressure = backpressure;
+        this.cursor = new AtomicLong(-1);
+        this.consumers = new ArrayList<>();
+        this.cachedGatingSequence = -1;
+    }
+
+    // Handlers must be registered before start()
+    public void addHandler(String name, LibraryEventHandler handler) {
+        if (running) {
+            throw new IllegalStateException("Event bus already started");
+        }
+        consumers.add(new Consumer(name, handler));
+    }
+
+    public void start() {
+        running = true;
+        for (Consumer consumer : consumers) {
+            consumer.thread.start();
+        }
+    }
+
+    /**
+     * Publishes one event
+     * @return false if the event was dropped because the buffer was full
+     *         or the bus is not running
+     */
+    public boolean publish(LibraryEvent.Type type, String transactionId, Book book,
+                           String memberId, int availableCopies, LocalDateTime timestamp) {
+        if (!running) {
+            droppedCount++;
+            return false;
+        }
+        long sequence = nextSequence;
+        long wrapPoint = sequence - ring.length;
+
+        if (wrapPoint > cachedGatingSequence) {
+            long gating = minimumConsumerSequence(sequence - 1);
+            while (wrapPoint > gating) {
+                if (backpressure == Backpressure.DROP || !running) {
+                    droppedCount++;
+                    return false;
+                }
+                LockSupport.parkNanos(1_000);
+                gating = minimumConsumerSequence(sequence - 1);
+            }
+            cachedGatingSequence = gating;
+        }
+
+        ring[(int) (sequence & mask)].set(type, transactionId, book, memberId, availableCopies, timestamp);
+        nextSequence = sequence + 1;
+        cursor.set(sequence);
+        wakeWaitingConsumers();
+        return true;
+    }
+
+    // Stops accepting events, lets every handler drain what was published, then waits for them
+    public void shutdown() {
+        running = false;
+        for (Consumer consumer : consumers) {
+            LockSupport.unpark(consumer.thread);
+        }
+        for (Consumer consumer : consumers) {
+            try {
+                consumer.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    private void wakeWaitingConsumers() {
+        for (Consumer consumer : consumers) {
+            if (consumer.waiting) {
+                LockSupport.unpark(consumer.thread);
+            }
+        }
+    }
+
+    private long minimumConsumerSequence(long minimum) {
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    private class Consumer implements Runnable {
+        private final LibraryEventHandler handler;
+        private final AtomicLong sequence;
+        private final Thread thread;
+        private volatile boolean waiting;
+
+        Consumer(String name, LibraryEventHandler handler) {
+            this.handler = handler;
+            this.sequence = new AtomicLong(-1);
+            this.thread = new Thread(this, "library-event-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long processed = -1;
+            while (true) {
+                // Read the flag before the cursor so nothing published before shutdown is missed
+                boolean stopping = !running;
+                long available = cursor.get();
+
+                if (available > processed) {
+                    for (long s = processed + 1; s <= available; s++) {
+                        try {
+                            handler.onEvent(ring[(int) (s & mask)], s, s == available);
+                        } catch (Exception e) {
+                            System.err.println(thread.getName() + " failed on event " + s + ": " + e.getMessage());
+                        }
+                    }
+                    processed = available;
+                    sequence.set(processed);
+                } else if (stopping) {
+                    break;
+                } else {
+                    // Announce the wait before re-checking, so a publish in between still unparks us
+                    waiting = true;
+                    if (cursor.get() == available && running) {
+                        LockSupport.park(this);
+                    }
+                    waiting = false;
+                }
+            }
+
+            try {
+                handler.onShutdown();
+            } catch (Exception e) {
+                System.err.println(thread.getName() + " failed on shutdown: " + e.getMessage());
+            }
+        }
+    }
+}
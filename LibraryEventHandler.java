@@ -0,0 +1,16 @@
+/**
+ * Consumer of library events
+ * Each handler runs on its own thread inside the LibraryEventBus
+ */
+public interface LibraryEventHandler {
+    /**
+     * @param event      reused slot; copy values out rather than keeping the reference
+     * @param sequence   position of the event in the stream
+     * @param endOfBatch true for the last event currently available, a good point to flush
+     */
+    void onEvent(LibraryEvent event, long sequence, boolean endOfBatch) throws Exception;
+
+    // Called once on the handler's thread after the final event has been delivered
+    default void onShutdown() throws Exception {
+    }
+}
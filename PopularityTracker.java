@@ -0,0 +1,245 @@
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming popularity tracker for borrowed books
+ * Uses the Space-Saving heavy-hitters algorithm so memory stays fixed
+ * no matter how long the transaction history grows
+ *
+ * The window slides: it is split into a ring of buckets (e.g. seven days)
+ * and each query merges the buckets still inside the window, so old
+ * borrows drop out one bucket at a time instead of all at once.
+ * Fed by BOOK_BORROWED events on the event bus thread.
+ */
+public class PopularityTracker implements LibraryEventHandler {
+    private final int capacity;
+    private final int maxCategories;
+    private final long bucketMillis;
+    private final Bucket[] buckets;
+
+    /**
+     * @param capacity      counters kept per summary (top-K is accurate for K well below this)
+     * @param maxCategories category summaries kept per bucket before new categories are ignored
+     * @param windowLength  length of the sliding window, e.g. one week
+     * @param bucketCount   buckets the window is split into, e.g. 7 for daily buckets
+     */
+    public PopularityTracker(int capacity, int maxCategories, Duration windowLength, int bucketCount) {
+        if (capacity <= 0 || maxCategories <= 0 || bucketCount <= 0) {
+            throw new IllegalArgumentException("Capacity and bucket count must be positive");
+        }
+        if (windowLength.toMillis() < bucketCount) {
+            throw new IllegalArgumentException("Window is too short for " + bucketCount + " buckets");
+        }
+        this.capacity = capacity;
+        this.maxCategories = maxCategories;
+        this.bucketMillis = windowLength.toMillis() / bucketCount;
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    @Override
+    public void onEvent(LibraryEvent event, long sequence, boolean endOfBatch) {
+        if (event.getType() == LibraryEvent.Type.BOOK_BORROWED) {
+            recordBorrow(event.getBookId(), event.getBookCategory(), event.getTimestamp());
+        }
+    }
+
+    // Feed one BORROW transaction into the tracker
+    public void recordBorrow(Book book, LocalDateTime timestamp) {
+        recordBorrow(book.getBookId(), book.getCategory(), timestamp);
+    }
+
+    public synchronized void recordBorrow(String bookId, String category, LocalDateTime timestamp) {
+        long index = bucketIndex(timestamp);
+        Bucket bucket = buckets[(int) Math.floorMod(index, (long) buckets.length)];
+        if (bucket.index != index) {
+            if (bucket.index > index) {
+                return; // older than anything the window still covers
+            }
+            bucket.reset(index);
+        }
+        bucket.overall.offer(bookId);
+
+        SpaceSaving categorySummary = bucket.byCategory.get(category);
+        if (categorySummary == null && bucket.byCategory.size() < maxCategories) {
+            categorySummary = new SpaceSaving(capacity);
+            bucket.byCategory.put(category, categorySummary);
+        }
+        if (categorySummary != null) {
+            categorySummary.offer(bookId);
+        }
+    }
+
+    // Top-K book IDs for the window ending now, most borrowed first
+    public List<Entry> getTopBooks(int k) {
+        return getTopBooks(k, LocalDateTime.now());
+    }
+
+    public synchronized List<Entry> getTopBooks(int k, LocalDateTime now) {
+        List<SpaceSaving> summaries = new ArrayList<>();
+        for (Bucket bucket : liveBuckets(now)) {
+            summaries.add(bucket.overall);
+        }
+        return SpaceSaving.mergeTop(summaries, k);
+    }
+
+    public List<Entry> getTopBooks(String category, int k) {
+        return getTopBooks(category, k, LocalDateTime.now());
+    }
+
+    public synchronized List<Entry> getTopBooks(String category, int k, LocalDateTime now) {
+        List<SpaceSaving> summaries = new ArrayList<>();
+        for (Bucket bucket : liveBuckets(now)) {
+            SpaceSaving categorySummary = bucket.byCategory.get(category);
+            if (categorySummary != null) {
+                summaries.add(categorySummary);
+            }
+        }
+        return SpaceSaving.mergeTop(summaries, k);
+    }
+
+    // Buckets whose time range still overlaps the window ending at now
+    private List<Bucket> liveBuckets(LocalDateTime now) {
+        long newest = bucketIndex(now);
+        long oldest = newest - buckets.length + 1;
+        List<Bucket> live = new ArrayList<>(buckets.length);
+        for (Bucket bucket : buckets) {
+            if (bucket.index >= oldest && bucket.index <= newest) {
+                live.add(bucket);
+            }
+        }
+        return live;
+    }
+
+    private long bucketIndex(LocalDateTime timestamp) {
+        return Math.floorDiv(timestamp.toInstant(ZoneOffset.UTC).toEpochMilli(), bucketMillis);
+    }
+
+    /**
+     * Estimated borrow count for a book
+     * The true count lies between count - error and count
+     */
+    public static class Entry {
+        private final String bookId;
+        private final long count;
+        private final long error;
+
+        Entry(String bookId, long count, long error) {
+            this.bookId = bookId;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getBookId() {
+            return bookId;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+    }
+
+    // One slice of the window: summaries for borrows within [index, index + 1) buckets
+    private class Bucket {
+        private long index = Long.MIN_VALUE;
+        private SpaceSaving overall = new SpaceSaving(capacity);
+        private Map<String, SpaceSaving> byCategory = new HashMap<>();
+
+        void reset(long index) {
+            this.index = index;
+            this.overall = new SpaceSaving(capacity);
+            this.byCategory = new HashMap<>();
+        }
+    }
+
+    // Fixed-size Space-Saving summary: when full, the smallest counter is replaced
+    private static class SpaceSaving {
+        private final int capacity;
+        private final Map<String, long[]> counters; // {count, error}
+
+        SpaceSaving(int capacity) {
+            this.capacity = capacity;
+            this.counters = new HashMap<>(capacity * 2);
+        }
+
+        void offer(String key) {
+            long[] counter = counters.get(key);
+            if (counter != null) {
+                counter[0]++;
+                return;
+            }
+            if (counters.size() < capacity) {
+                counters.put(key, new long[] {1, 0});
+                return;
+            }
+
+            String minKey = null;
+            long[] min = null;
+            for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+                if (min == null || entry.getValue()[0] < min[0]) {
+                    minKey = entry.getKey();
+                    min = entry.getValue();
+                }
+            }
+            counters.remove(minKey);
+            // Reuse the evicted counter: the newcomer inherits its count as error
+            min[1] = min[0];
+            min[0]++;
+            counters.put(key, min);
+        }
+
+        // Largest count a key missing from this summary could have: the minimum counter once full
+        long missingCount() {
+            if (counters.size() < capacity) {
+                return 0;
+            }
+            long min = Long.MAX_VALUE;
+            for (long[] counter : counters.values()) {
+                min = Math.min(min, counter[0]);
+            }
+            return min;
+        }
+
+        /**
+         * Summaries merge by adding counts and errors for each key
+         * A key missing from a full summary may still have been seen up to its
+         * minimum count there, so that minimum is added to both count and error
+         */
+        static List<Entry> mergeTop(List<SpaceSaving> summaries, int k) {
+            Map<String, long[]> merged = new HashMap<>();
+            long missingTotal = 0;
+            for (SpaceSaving summary : summaries) {
+                long missing = summary.missingCount();
+                missingTotal += missing;
+                for (Map.Entry<String, long[]> entry : summary.counters.entrySet()) {
+                    long[] total = merged.computeIfAbsent(entry.getKey(), key -> new long[2]);
+                    // Pre-credit the missing bound; it is taken back below for summaries that have the key
+                    total[0] += entry.getValue()[0] - missing;
+                    total[1] += entry.getValue()[1] - missing;
+                }
+            }
+            for (long[] total : merged.values()) {
+                total[0] += missingTotal;
+                total[1] += missingTotal;
+            }
+
+            List<Entry> entries = new ArrayList<>(merged.size());
+            for (Map.Entry<String, long[]> entry : merged.entrySet()) {
+                entries.add(new Entry(entry.getKey(), entry.getValue()[0], entry.getValue()[1]));
+            }
+            entries.sort((a, b) -> Long.compare(b.getCount(), a.getCount()));
+            return entries.subList(0, Math.min(k, entries.size()));
+        }
+    }
+}
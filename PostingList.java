@@ -0,0 +1,229 @@
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Sorted set of book positions for one index value
+ * Stored as a sorted int[] while sparse and as a BitSet once dense,
+ * so a value with a few books far into the catalog costs a few ints
+ * rather than a bitmap reaching up to its highest position
+ */
+public class PostingList {
+    private static final int MIN_DENSE_SIZE = 64;
+
+    private int[] values; // sorted positions, used while sparse
+    private BitSet bits;  // used once dense
+    private int size;
+
+    public PostingList() {
+        this.values = new int[4];
+    }
+
+    public void add(int position) {
+        if (bits != null) {
+            if (!bits.get(position)) {
+                bits.set(position);
+                size++;
+            }
+            return;
+        }
+
+        if (size == 0 || position > values[size - 1]) {
+            // Positions are handed out in increasing order, so this is the usual case
+            ensureCapacity();
+            values[size++] = position;
+        } else {
+            int index = Arrays.binarySearch(values, 0, size, position);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            ensureCapacity();
+            System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+            values[insertAt] = position;
+            size++;
+        }
+
+        toBitsIfDense();
+    }
+
+    public void remove(int position) {
+        if (bits != null) {
+            if (bits.get(position)) {
+                bits.clear(position);
+                size--;
+            }
+            toArrayIfSparse();
+            return;
+        }
+
+        int index = Arrays.binarySearch(values, 0, size, position);
+        if (index >= 0) {
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+        }
+    }
+
+    public boolean contains(int position) {
+        return bits != null ? bits.get(position) : Arrays.binarySearch(values, 0, size, position) >= 0;
+    }
+
+    public int cardinality() {
+        return size;
+    }
+
+    // Smallest position >= from, or -1 if there is none
+    public int next(int from) {
+        if (bits != null) {
+            return bits.nextSetBit(from);
+        }
+        int index = Arrays.binarySearch(values, 0, size, from);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < size ? values[index] : -1;
+    }
+
+    /**
+     * Positions that are in this list and set in the bitmap
+     * A dense list is intersected word by word on a copy of its bitmap
+     */
+    public PostingList and(BitSet other) {
+        if (bits != null) {
+            BitSet result = (BitSet) bits.clone();
+            result.and(other);
+            return ofBits(result);
+        }
+        int[] result = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (other.get(values[i])) {
+                result[count++] = values[i];
+            }
+        }
+        return ofValues(result, count);
+    }
+
+    // Positions in both lists, e.g. books in a category AND by an author
+    public PostingList and(PostingList other) {
+        if (other.bits != null) {
+            return and(other.bits);
+        }
+        if (bits != null) {
+            return other.and(bits);
+        }
+
+        // Both sparse: walk the two sorted arrays together
+        int[] result = new int[Math.min(size, other.size)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (values[i] < other.values[j]) {
+                i++;
+            } else if (values[i] > other.values[j]) {
+                j++;
+            } else {
+                result[count++] = values[i];
+                i++;
+                j++;
+            }
+        }
+        return ofValues(result, count);
+    }
+
+    /**
+     * Positions in any of the lists
+     * ORs word by word into one bitmap if any list is dense, otherwise merges the sorted arrays
+     */
+    public static PostingList union(PostingList... lists) {
+        boolean dense = false;
+        for (PostingList list : lists) {
+            dense |= list.bits != null;
+        }
+
+        if (dense) {
+            BitSet result = new BitSet();
+            for (PostingList list : lists) {
+                if (list.bits != null) {
+                    result.or(list.bits);
+                } else {
+                    for (int i = 0; i < list.size; i++) {
+                        result.set(list.values[i]);
+                    }
+                }
+            }
+            return ofBits(result);
+        }
+
+        int[] result = new int[0];
+        int count = 0;
+        for (PostingList list : lists) {
+            int[] merged = new int[count + list.size];
+            int mergedCount = 0;
+            int i = 0;
+            int j = 0;
+            while (i < count || j < list.size) {
+                int next;
+                if (j == list.size || (i < count && result[i] < list.values[j])) {
+                    next = result[i++];
+                } else if (i == count || list.values[j] < result[i]) {
+                    next = list.values[j++];
+                } else {
+                    next = result[i++];
+                    j++;
+                }
+                merged[mergedCount++] = next;
+            }
+            result = merged;
+            count = mergedCount;
+        }
+        return ofValues(result, count);
+    }
+
+    private static PostingList ofBits(BitSet bits) {
+        PostingList result = new PostingList();
+        result.values = null;
+        result.bits = bits;
+        result.size = bits.cardinality();
+        result.toArrayIfSparse();
+        return result;
+    }
+
+    // Takes ownership of the first size entries of a sorted array
+    private static PostingList ofValues(int[] values, int size) {
+        PostingList result = new PostingList();
+        result.values = values.length >= 4 ? values : Arrays.copyOf(values, 4);
+        result.size = size;
+        result.toBitsIfDense();
+        return result;
+    }
+
+    // Switch to a bitmap once it is smaller than the array (32 bits per int vs 1 bit per position)
+    private void toBitsIfDense() {
+        if (size >= MIN_DENSE_SIZE && (long) size * 32 > values[size - 1]) {
+            bits = new BitSet(values[size - 1] + 1);
+            for (int i = 0; i < size; i++) {
+                bits.set(values[i]);
+            }
+            values = null;
+        }
+    }
+
+    // Back to an array once the bitmap is mostly empty
+    private void toArrayIfSparse() {
+        if ((long) size * 64 < bits.length()) {
+            values = new int[Math.max(4, size)];
+            int i = 0;
+            for (int p = bits.nextSetBit(0); p >= 0; p = bits.nextSetBit(p + 1)) {
+                values[i++] = p;
+            }
+            bits = null;
+        }
+    }
+
+    private void ensureCapacity() {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reader for files produced by TransactionHistoryWriter
+ * Uses the footer's per-group timestamp range to skip row groups that
+ * cannot match, so only the relevant part of the file is read
+ */
+public class TransactionHistoryReader implements AutoCloseable {
+    private final RandomAccessFile file;
+    private final long[][] rowGroups; // {offset, rowCount, minTimestamp, maxTimestamp}
+
+    public TransactionHistoryReader(Path path) throws IOException {
+        this.file = new RandomAccessFile(path.toFile(), "r");
+        try {
+            if (file.readInt() != TransactionHistoryWriter.MAGIC) {
+                throw new IOException("Not a transaction history file: " + path);
+            }
+            int version = file.readInt();
+            if (version != TransactionHistoryWriter.VERSION) {
+                throw new IOException("Unsupported transaction history version: " + version);
+            }
+            int columnCount = file.readInt();
+            if (columnCount != TransactionHistoryWriter.COLUMNS.length) {
+                throw new IOException("Unexpected column count: " + columnCount);
+            }
+            for (String expected : TransactionHistoryWriter.COLUMNS) {
+                String column = file.readUTF();
+                if (!column.equals(expected)) {
+                    throw new IOException("Unexpected column '" + column + "', expected '" + expected + "'");
+                }
+            }
+
+            file.seek(file.length() - Long.BYTES - Integer.BYTES);
+            long footerOffset = file.readLong();
+            if (file.readInt() != TransactionHistoryWriter.MAGIC) {
+                throw new IOException("Truncated transaction history file: " + path);
+            }
+
+            file.seek(footerOffset);
+            this.rowGroups = new long[file.readInt()][];
+            for (int i = 0; i < rowGroups.length; i++) {
+                rowGroups[i] = new long[] {file.readLong(), file.readInt(), file.readLong(), file.readLong()};
+            }
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    public int getRowGroupCount() {
+        return rowGroups.length;
+    }
+
+    public long getRowCount() {
+        long total = 0;
+        for (long[] group : rowGroups) {
+            total += group[1];
+        }
+        return total;
+    }
+
+    // Passes every record in the file to the action
+    public long scan(Consumer<TransactionHistoryRecord> action) throws IOException {
+        return scan(Long.MIN_VALUE, Long.MAX_VALUE, action);
+    }
+
+    /**
+     * Passes every record with from <= timestamp <= to to the action
+     * Bounds beyond the millisecond range are clamped, so wide ranges are safe
+     * @return number of records delivered
+     */
+    public long scan(LocalDateTime from, LocalDateTime to, Consumer<TransactionHistoryRecord> action)
+            throws IOException {
+        return scan(toMillis(from), toMillis(to), action);
+    }
+
+    private long scan(long fromMillis, long toMillis, Consumer<TransactionHistoryRecord> action)
+            throws IOException {
+        long delivered = 0;
+
+        for (long[] group : rowGroups) {
+            if (group[3] < fromMillis || group[2] > toMillis) {
+                continue; // whole group is outside the range
+            }
+
+            int rows = (int) group[1];
+            file.seek(group[0]);
+            String[][] strings = new String[TransactionHistoryWriter.STRING_COLUMNS][];
+            for (int column = 0; column < strings.length; column++) {
+                strings[column] = decodeStrings(readBlock(), rows);
+            }
+            long[] timestamps = decodeTimestamps(readBlock(), rows);
+
+            for (int row = 0; row < rows; row++) {
+                if (timestamps[row] < fromMillis || timestamps[row] > toMillis) {
+                    continue;
+                }
+                action.accept(new TransactionHistoryRecord(strings[0][row], strings[1][row],
+                        strings[2][row], strings[3][row], strings[4][row], strings[5][row],
+                        LocalDateTime.ofEpochSecond(Math.floorDiv(timestamps[row], 1000L),
+                                (int) Math.floorMod(timestamps[row], 1000L) * 1_000_000, ZoneOffset.UTC)));
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    private static long toMillis(LocalDateTime timestamp) {
+        try {
+            return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (ArithmeticException e) {
+            return timestamp.getYear() < 1970 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private DataInputStream readBlock() throws IOException {
+        byte[] compressed = new byte[file.readInt()];
+        file.readFully(compressed);
+        return new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed)));
+    }
+
+    private static String[] decodeStrings(DataInputStream data, int rows) throws IOException {
+        String[] dictionary = new String[data.readInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = data.readBoolean() ? data.readUTF() : null;
+        }
+        String[] values = new String[rows];
+        for (int row = 0; row < rows; row++) {
+            values[row] = dictionary[data.readInt()];
+        }
+        return values;
+    }
+
+    private static long[] decodeTimestamps(DataInputStream data, int rows) throws IOException {
+        long[] values = new long[rows];
+        long previous = 0;
+        for (int row = 0; row < rows; row++) {
+            previous += data.readLong();
+            values[row] = previous;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,61 @@
+import java.time.LocalDateTime;
+
+/**
+ * One row of an exported transaction history file
+ * Flat copy of a Transaction for offline analytics
+ */
+public class TransactionHistoryRecord {
+    private final String transactionId;
+    private final String type;
+    private final String memberId;
+    private final String memberType;
+    private final String bookId;
+    private final String bookCategory;
+    private final LocalDateTime timestamp;
+
+    public TransactionHistoryRecord(String transactionId, String type, String memberId, String memberType,
+                                    String bookId, String bookCategory, LocalDateTime timestamp) {
+        this.transactionId = transactionId;
+        this.type = type;
+        this.memberId = memberId;
+        this.memberType = memberType;
+        this.bookId = bookId;
+        this.bookCategory = bookCategory;
+        this.timestamp = timestamp;
+    }
+
+    // Getters
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public String getMemberType() {
+        return memberType;
+    }
+
+    public String getBookId() {
+        return bookId;
+    }
+
+    public String getBookCategory() {
+        return bookCategory;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TransactionHistoryRecord{id='%s', type='%s', member='%s', memberType='%s', book='%s', category='%s', timestamp='%s'}",
+                transactionId, type, memberId, memberType, bookId, bookCategory, timestamp);
+    }
+}
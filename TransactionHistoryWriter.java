@@ -0,0 +1,187 @@
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Streaming exporter of transaction history into a columnar file
+ *
+ * File layout:
+ *   header     MAGIC, version, column names
+ *   row groups one deflate-compressed block per column
+ *   footer     per group: offset, row count, min/max timestamp
+ *   trailer    footer offset, MAGIC
+ *
+ * String columns are dictionary encoded per row group, each entry prefixed
+ * by a presence flag so null survives the round trip; timestamps are
+ * epoch milliseconds of the local date-time, delta encoded.
+ */
+public class TransactionHistoryWriter implements AutoCloseable {
+    static final int MAGIC = 0x4C545848; // "LTXH"
+    static final int VERSION = 2;
+    static final String[] COLUMNS = {
+        "transactionId", "type", "memberId", "memberType", "bookId", "bookCategory", "timestamp"
+    };
+    static final int STRING_COLUMNS = COLUMNS.length - 1;
+
+    private final DataOutputStream out;
+    private final int rowGroupSize;
+    private final List<String[]> pendingStrings;
+    private final List<Long> pendingTimestamps;
+    private final List<long[]> rowGroups; // {offset, rowCount, minTimestamp, maxTimestamp}
+    private long position;
+    private long rowCount;
+
+    public TransactionHistoryWriter(Path path, int rowGroupSize) throws IOException {
+        if (rowGroupSize <= 0) {
+            throw new IllegalArgumentException("Row group size must be positive");
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+        this.rowGroupSize = rowGroupSize;
+        this.pendingStrings = new ArrayList<>(rowGroupSize);
+        this.pendingTimestamps = new ArrayList<>(rowGroupSize);
+        this.rowGroups = new ArrayList<>();
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream headerOut = new DataOutputStream(header);
+        headerOut.writeInt(MAGIC);
+        headerOut.writeInt(VERSION);
+        headerOut.writeInt(COLUMNS.length);
+        for (String column : COLUMNS) {
+            headerOut.writeUTF(column);
+        }
+        writeBytes(header.toByteArray());
+    }
+
+    public void write(Transaction transaction) throws IOException {
+        Member member = transaction.getMember();
+        Book book = transaction.getBook();
+        pendingStrings.add(new String[] {
+            transaction.getTransactionId(),
+            transaction.getType(),
+            member.getMemberId(),
+            member.getClass().getSimpleName(),
+            book.getBookId(),
+            book.getCategory()
+        });
+        pendingTimestamps.add(transaction.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli());
+        rowCount++;
+
+        if (pendingTimestamps.size() == rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushRowGroup();
+
+            long footerOffset = position;
+            out.writeInt(rowGroups.size());
+            for (long[] group : rowGroups) {
+                out.writeLong(group[0]);
+                out.writeInt((int) group[1]);
+                out.writeLong(group[2]);
+                out.writeLong(group[3]);
+            }
+            out.writeLong(footerOffset);
+            out.writeInt(MAGIC);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        int rows = pendingTimestamps.size();
+        if (rows == 0) {
+            return;
+        }
+
+        long offset = position;
+        for (int column = 0; column < STRING_COLUMNS; column++) {
+            writeBlock(encodeStrings(column));
+        }
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long timestamp : pendingTimestamps) {
+            min = Math.min(min, timestamp);
+            max = Math.max(max, timestamp);
+        }
+        writeBlock(encodeTimestamps());
+
+        rowGroups.add(new long[] {offset, rows, min, max});
+        pendingStrings.clear();
+        pendingTimestamps.clear();
+    }
+
+    // Dictionary of distinct values followed by one index per row
+    private byte[] encodeStrings(int column) throws IOException {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        int[] indexes = new int[pendingStrings.size()];
+        for (int row = 0; row < indexes.length; row++) {
+            String value = pendingStrings.get(row)[column];
+            Integer index = dictionary.get(value); // null is a valid key
+            if (index == null) {
+                index = dictionary.size();
+                dictionary.put(value, index);
+            }
+            indexes[row] = index;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            data.writeBoolean(value != null);
+            if (value != null) {
+                data.writeUTF(value);
+            }
+        }
+        for (int index : indexes) {
+            data.writeInt(index);
+        }
+        return bytes.toByteArray();
+    }
+
+    // First value in full, then differences to the previous row
+    private byte[] encodeTimestamps() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        long previous = 0;
+        for (long timestamp : pendingTimestamps) {
+            data.writeLong(timestamp - previous);
+            previous = timestamp;
+        }
+        return bytes.toByteArray();
+    }
+
+    private void writeBlock(byte[] raw) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream deflater = new DeflaterOutputStream(compressed)) {
+            deflater.write(raw);
+        }
+        out.writeInt(compressed.size());
+        position += Integer.BYTES;
+        writeBytes(compressed.toByteArray());
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+}
@@ -0,0 +1,64 @@
+package com.elevate.library;
+
+/**
+ * Book class demonstrating Encapsulation
+ * - Private fields with validated constructor input
+ * - Availability only changes through the Library
+ */
+public class Book {
+    private String bookId;
+    private String title;
+    private String author;
+    private boolean available;
+    
+    // Constructor
+    public Book(String bookId, String title, String author) {
+        this.bookId = validateBookId(bookId);
+        this.title = validateText(title, "Title");
+        this.author = validateText(author, "Author");
+        this.available = true;
+    }
+    
+    // Getter methods
+    public String getBookId() {
+        return bookId;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getAuthor() {
+        return author;
+    }
+    
+    public boolean isAvailable() {
+        return available;
+    }
+    
+    // Package-private: only the Library issues and returns books
+    void setAvailable(boolean available) {
+        this.available = available;
+    }
+    
+    // Validation methods
+    private String validateBookId(String bookId) {
+        if (bookId == null || bookId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Book ID cannot be null or empty");
+        }
+        return bookId.trim().toUpperCase();
+    }
+    
+    private String validateText(String value, String field) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException(field + " cannot be null or empty");
+        }
+        return value.trim();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Book{bookId='%s', title='%s', author='%s', available=%s}",
+                bookId, title, author, available);
+    }
+}
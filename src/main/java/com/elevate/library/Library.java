@@ -0,0 +1,225 @@
+package com.elevate.library;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Library class managing books, users and loans
+ * - Single-item issue/return for the interactive menu
+ * - Batch issue/return for desk checkouts: ids are resolved in one pass,
+ *   the user's quota is checked once, and the whole batch is applied
+ *   all-or-nothing with a single grouped loan record
+ */
+public class Library {
+    private Map<String, Book> books;
+    private Map<String, User> users;
+    private List<LoanRecord> loanRecords;
+    private PrintStream out;
+
+    public Library() {
+        this(System.out);
+    }
+
+    // Messages go to the given stream (e.g. a null stream for benchmarks)
+    public Library(PrintStream out) {
+        this.books = new LinkedHashMap<>();
+        this.users = new LinkedHashMap<>();
+        this.loanRecords = new ArrayList<>();
+        this.out = out;
+    }
+
+    public void addBook(Book book) {
+        books.put(book.getBookId(), book);
+    }
+
+    public void addUser(User user) {
+        users.put(user.getUserId(), user);
+    }
+
+    public User findUser(String userId) {
+        return users.get(normalizeId(userId));
+    }
+
+    public Book findBook(String bookId) {
+        return books.get(normalizeId(bookId));
+    }
+
+    public List<LoanRecord> getLoanRecords() {
+        return new ArrayList<>(loanRecords); // Return copy to maintain encapsulation
+    }
+
+    // Single-item operations
+    public boolean issueBook(String bookId, String userId) {
+        User user = findUser(userId);
+        Book book = findBook(bookId);
+
+        if (user == null) {
+            out.println("User not found!");
+            return false;
+        }
+        if (book == null) {
+            out.println("Book not found!");
+            return false;
+        }
+        if (!book.isAvailable()) {
+            out.println("Book is already issued!");
+            return false;
+        }
+        if (!user.borrowBook(book.getBookId())) {
+            out.println("User has reached the limit of " + user.getMaxBooksAllowed() + " books!");
+            return false;
+        }
+
+        book.setAvailable(false);
+        loanRecords.add(new LoanRecord("ISSUE", user.getUserId(),
+                Collections.singletonList(book.getBookId())));
+        out.println("Book issued successfully!");
+        return true;
+    }
+
+    public boolean returnBook(String bookId, String userId) {
+        User user = findUser(userId);
+        Book book = findBook(bookId);
+
+        if (user == null) {
+            out.println("User not found!");
+            return false;
+        }
+        if (book == null) {
+            out.println("Book not found!");
+            return false;
+        }
+        if (!user.returnBook(book.getBookId())) {
+            out.println("This user has not borrowed this book!");
+            return false;
+        }
+
+        book.setAvailable(true);
+        loanRecords.add(new LoanRecord("RETURN", user.getUserId(),
+                Collections.singletonList(book.getBookId())));
+        out.println("Book returned successfully!");
+        return true;
+    }
+
+    // Batch operations: nothing changes unless every book in the batch can be issued
+    public boolean issueBooks(List<String> bookIds, String userId) {
+        User user = findUser(userId);
+        if (user == null) {
+            out.println("User not found!");
+            return false;
+        }
+
+        List<Book> batch = resolveBooks(bookIds);
+        if (batch == null) {
+            return false;
+        }
+        for (Book book : batch) {
+            if (!book.isAvailable()) {
+                out.println("Book " + book.getBookId() + " is already issued! No books were issued.");
+                return false;
+            }
+        }
+
+        List<String> ids = idsOf(batch);
+        if (!user.borrowBooks(ids)) {
+            out.println("Batch exceeds the limit of " + user.getMaxBooksAllowed()
+                    + " books or repeats a book! No books were issued.");
+            return false;
+        }
+
+        for (Book book : batch) {
+            book.setAvailable(false);
+        }
+        loanRecords.add(new LoanRecord("ISSUE", user.getUserId(), ids));
+        out.println(batch.size() + " books issued successfully!");
+        return true;
+    }
+
+    // Nothing changes unless the user holds every book in the batch
+    public boolean returnBooks(List<String> bookIds, String userId) {
+        User user = findUser(userId);
+        if (user == null) {
+            out.println("User not found!");
+            return false;
+        }
+
+        List<Book> batch = resolveBooks(bookIds);
+        if (batch == null) {
+            return false;
+        }
+
+        List<String> ids = idsOf(batch);
+        if (!user.returnBooks(ids)) {
+            out.println("This user has not borrowed every book in the batch! No books were returned.");
+            return false;
+        }
+
+        for (Book book : batch) {
+            book.setAvailable(true);
+        }
+        loanRecords.add(new LoanRecord("RETURN", user.getUserId(), ids));
+        out.println(batch.size() + " books returned successfully!");
+        return true;
+    }
+
+    public void displayAllBooks() {
+        out.println(String.format("%-8s %-30s %-25s %-10s", "Book ID", "Title", "Author", "Available"));
+        out.println("-".repeat(75));
+        for (Book book : books.values()) {
+            out.println(String.format("%-8s %-30s %-25s %-10s", book.getBookId(), book.getTitle(),
+                    book.getAuthor(), book.isAvailable() ? "Yes" : "No"));
+        }
+    }
+
+    public void displayAllUsers() {
+        out.println(String.format("%-8s %-20s %-25s %-15s %-10s", "User ID", "Name", "Email", "Type", "Books"));
+        out.println("-".repeat(80));
+        for (User user : users.values()) {
+            out.println(String.format("%-8s %-20s %-25s %-15s %-10s", user.getUserId(), user.getName(),
+                    user.getEmail(), user.getUserType(),
+                    user.getCurrentBooksCount() + "/" + user.getMaxBooksAllowed()));
+        }
+    }
+
+    // Looks up every id once; null (after reporting) if any id is unknown or repeated
+    private List<Book> resolveBooks(List<String> bookIds) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            out.println("No book IDs given!");
+            return null;
+        }
+        List<Book> batch = new ArrayList<>(bookIds.size());
+        Set<String> seen = new HashSet<>();
+        for (String bookId : bookIds) {
+            Book book = findBook(bookId);
+            if (book == null) {
+                out.println("Book " + bookId + " not found! No books were changed.");
+                return null;
+            }
+            if (!seen.add(book.getBookId())) {
+                out.println("Book " + book.getBookId() + " appears twice! No books were changed.");
+                return null;
+            }
+            batch.add(book);
+        }
+        return batch;
+    }
+
+    private static List<String> idsOf(List<Book> batch) {
+        List<String> ids = new ArrayList<>(batch.size());
+        for (Book book : batch) {
+            ids.add(book.getBookId());
+        }
+        return ids;
+    }
+
+    // Same normalisation as User and Book ids
+    private static String normalizeId(String id) {
+        return id == null ? null : id.trim().toUpperCase();
+    }
+}
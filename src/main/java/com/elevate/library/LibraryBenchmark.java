@@ -0,0 +1,83 @@
+package com.elevate.library;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simple throughput comparison of per-item vs batch issue/return
+ * - Each premium user checks out and returns a full quota of books per round
+ * - Messages go to a null stream so terminal I/O does not skew the timings
+ *
+ * Run: java com.elevate.library.LibraryBenchmark
+ */
+public class LibraryBenchmark {
+    private static final int USERS = 2000;
+    private static final int BOOKS_PER_USER = 10;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        Library library = new Library(new PrintStream(OutputStream.nullOutputStream()));
+        List<List<String>> checkouts = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            library.addUser(new PremiumUser("U" + u, "User " + u, "user" + u + "@example.com"));
+            List<String> bookIds = new ArrayList<>();
+            for (int b = 0; b < BOOKS_PER_USER; b++) {
+                String bookId = "B" + u + "-" + b;
+                library.addBook(new Book(bookId, "Title " + bookId, "Author"));
+                bookIds.add(bookId);
+            }
+            checkouts.add(bookIds);
+        }
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            runPerItem(library, checkouts);
+            runBatch(library, checkouts);
+        }
+
+        long perItemNanos = 0;
+        long batchNanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            perItemNanos += runPerItem(library, checkouts);
+            batchNanos += runBatch(library, checkouts);
+        }
+
+        long operations = (long) USERS * BOOKS_PER_USER * 2 * MEASURED_ROUNDS; // issue + return per book
+        System.out.println("=== Issue/Return Benchmark ===");
+        System.out.println(String.format("%-10s %15s %15s", "Mode", "ns/book", "books/sec"));
+        printRow("Per-item", perItemNanos, operations);
+        printRow("Batch", batchNanos, operations);
+        System.out.println(String.format("Speedup: %.2fx", (double) perItemNanos / batchNanos));
+    }
+
+    private static long runPerItem(Library library, List<List<String>> checkouts) {
+        long start = System.nanoTime();
+        for (int u = 0; u < checkouts.size(); u++) {
+            String userId = "U" + u;
+            for (String bookId : checkouts.get(u)) {
+                library.issueBook(bookId, userId);
+            }
+            for (String bookId : checkouts.get(u)) {
+                library.returnBook(bookId, userId);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long runBatch(Library library, List<List<String>> checkouts) {
+        long start = System.nanoTime();
+        for (int u = 0; u < checkouts.size(); u++) {
+            String userId = "U" + u;
+            library.issueBooks(checkouts.get(u), userId);
+            library.returnBooks(checkouts.get(u), userId);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void printRow(String mode, long nanos, long operations) {
+        System.out.println(String.format("%-10s %15.1f %15.0f", mode,
+                (double) nanos / operations, operations * 1_000_000_000.0 / nanos));
+    }
+}
@@ -0,0 +1,45 @@
+package com.elevate.library;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loan record class
+ * - One record per issue/return call, covering every book in a batch
+ */
+public class LoanRecord {
+    private final String type; // ISSUE or RETURN
+    private final String userId;
+    private final List<String> bookIds;
+    private final LocalDateTime timestamp;
+
+    public LoanRecord(String type, String userId, List<String> bookIds) {
+        this.type = type;
+        this.userId = userId;
+        this.bookIds = new ArrayList<>(bookIds);
+        this.timestamp = LocalDateTime.now();
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public List<String> getBookIds() {
+        return new ArrayList<>(bookIds);
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LoanRecord{type='%s', userId='%s', books=%s, timestamp='%s'}",
+                type, userId, bookIds, timestamp);
+    }
+}
@@ -1,6 +1,8 @@
 package com.elevate.library;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -50,6 +52,12 @@ public class Main {
                     demonstratePolymorphism();
                     break;
                 case 8:
+                    issueMultipleBooks();
+                    break;
+                case 9:
+                    returnMultipleBooks();
+                    break;
+                case 10:
                     running = false;
                     System.out.println("Thank you for using the Library Management System!");
                     break;
@@ -92,8 +100,10 @@ public class Main {
         System.out.println("5. Add New Book");
         System.out.println("6. Add New User");
         System.out.println("7. Demonstrate Polymorphism");
-        System.out.println("8. Exit");
-        System.out.print("Enter your choice (1-8): ");
+        System.out.println("8. Issue Multiple Books");
+        System.out.println("9. Return Multiple Books");
+        System.out.println("10. Exit");
+        System.out.print("Enter your choice (1-10): ");
     }
     
     private static int getChoice() {
@@ -130,6 +140,36 @@ public class Main {
         library.returnBook(bookId, userId);
     }
     
+    private static void issueMultipleBooks() {
+        System.out.println("\n=== Issue Multiple Books ===");
+        System.out.print("Enter User ID: ");
+        String userId = scanner.nextLine();
+        System.out.print("Enter Book IDs (comma separated): ");
+        List<String> bookIds = parseIds(scanner.nextLine());
+        
+        library.issueBooks(bookIds, userId);
+    }
+    
+    private static void returnMultipleBooks() {
+        System.out.println("\n=== Return Multiple Books ===");
+        System.out.print("Enter User ID: ");
+        String userId = scanner.nextLine();
+        System.out.print("Enter Book IDs (comma separated): ");
+        List<String> bookIds = parseIds(scanner.nextLine());
+        
+        library.returnBooks(bookIds, userId);
+    }
+    
+    private static List<String> parseIds(String input) {
+        List<String> ids = new ArrayList<>();
+        for (String id : input.split(",")) {
+            if (!id.trim().isEmpty()) {
+                ids.add(id.trim());
+            }
+        }
+        return ids;
+    }
+    
     private static void displayAllUsers() {
         System.out.println("\n=== All Users ===");
         library.displayAllUsers();
@@ -1,7 +1,9 @@
 package com.elevate.library;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.time.LocalDate;
 
 /**
@@ -88,6 +90,32 @@ public abstract class User {
         return borrowedBookIds.remove(bookId);
     }
     
+    // Batch operations: quota and duplicates checked once, all-or-nothing
+    public boolean borrowBooks(List<String> bookIds) {
+        if (getCurrentBooksCount() + bookIds.size() > getMaxBooksAllowed()) {
+            return false;
+        }
+        Set<String> pending = new HashSet<>(borrowedBookIds);
+        for (String bookId : bookIds) {
+            if (!pending.add(bookId)) {
+                return false; // Already borrowed or repeated in the batch
+            }
+        }
+        borrowedBookIds.addAll(bookIds);
+        return true;
+    }
+    
+    public boolean returnBooks(List<String> bookIds) {
+        Set<String> pending = new HashSet<>(borrowedBookIds);
+        for (String bookId : bookIds) {
+            if (!pending.remove(bookId)) {
+                return false; // Not borrowed or repeated in the batch
+            }
+        }
+        borrowedBookIds.removeAll(new HashSet<>(bookIds));
+        return true;
+    }
+    
     public boolean hasBorrowedBook(String bookId) {
         return borrowedBookIds.contains(bookId);
     }